@@ -0,0 +1,23 @@
+-- Structured extraction output, filled from a single PDF load.
+-- Idempotent so it can also be applied to an existing database.
+ALTER TABLE documents
+  ADD COLUMN IF NOT EXISTS page_count INTEGER,
+  ADD COLUMN IF NOT EXISTS char_count INTEGER,
+  ADD COLUMN IF NOT EXISTS has_text_layer BOOLEAN,
+  ADD COLUMN IF NOT EXISTS title TEXT,
+  ADD COLUMN IF NOT EXISTS author TEXT,
+  ADD COLUMN IF NOT EXISTS subject TEXT,
+  ADD COLUMN IF NOT EXISTS language TEXT;
+
+-- Extracted text of each page
+CREATE TABLE IF NOT EXISTS document_pages (
+  id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+
+  document_id UUID NOT NULL REFERENCES documents(id) ON DELETE CASCADE,
+  page_number INTEGER NOT NULL,
+
+  text TEXT,
+  char_count INTEGER NOT NULL DEFAULT 0,
+
+  UNIQUE (document_id, page_number)
+);
@@ -0,0 +1,5 @@
+-- Optimistic locking: every write bumps the version, so a stale processing
+-- attempt cannot overwrite a document another node has claimed since.
+-- Idempotent so it can also be applied to an existing database.
+ALTER TABLE documents
+  ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
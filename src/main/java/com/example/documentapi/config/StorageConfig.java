@@ -0,0 +1,72 @@
+package com.example.documentapi.config;
+
+import com.example.documentapi.storage.BlobStore;
+import com.example.documentapi.storage.LocalBlobCache;
+import com.example.documentapi.storage.LocalBlobStore;
+import com.example.documentapi.storage.S3BlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+
+/**
+ * Select the blob storage backend with app.storage.type (local or s3).
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+    public BlobStore localBlobStore(@Value("${app.files.base-dir:/data/files}") String filesBaseDir) {
+        return new LocalBlobStore(Paths.get(filesBaseDir));
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+    public S3Client s3Client(
+            @Value("${app.storage.s3.endpoint:}") String endpoint,
+            @Value("${app.storage.s3.region:us-east-1}") String region,
+            @Value("${app.storage.s3.access-key:}") String accessKey,
+            @Value("${app.storage.s3.secret-key:}") String secretKey) {
+        AwsCredentialsProvider credentials = accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials);
+        if (!endpoint.isBlank()) {
+            // S3-compatible stores such as MinIO need path-style addressing
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+    public BlobStore s3BlobStore(
+            S3Client s3Client,
+            @Value("${app.storage.s3.bucket:documents}") String bucket,
+            @Value("${app.storage.s3.create-bucket:false}") boolean createBucket,
+            @Value("${app.storage.s3.range-chunk-bytes:8388608}") long chunkBytes,
+            @Value("${app.storage.cache.dir:/tmp/document-blob-cache}") String cacheDir,
+            @Value("${app.storage.cache.max-bytes:1073741824}") long cacheMaxBytes) throws IOException {
+        LocalBlobCache cache = new LocalBlobCache(Paths.get(cacheDir), cacheMaxBytes);
+        S3BlobStore store = new S3BlobStore(s3Client, bucket, cache, chunkBytes);
+        if (createBucket) {
+            store.createBucketIfMissing();
+        }
+        return store;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.documentapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.OffsetDateTime;
@@ -26,6 +27,16 @@ public class Document {
     @Column(columnDefinition = "TEXT")
     private String extractedText;
 
+    // Filled from the same PDF load as extractedText, per-page text lives in DocumentPage
+    private Integer pageCount;
+    private Integer charCount;
+    private Boolean hasTextLayer;
+
+    private String title;
+    private String author;
+    private String subject;
+    private String language;
+
     private Integer retryCount;
 
     private String errorMessage;
@@ -33,4 +44,10 @@ public class Document {
     private OffsetDateTime uploadedAt;
     private OffsetDateTime processingStartedAt;
     private OffsetDateTime completedAt;
+
+    // Bumped on every write, so a stale processing attempt cannot overwrite a newer owner's row
+    // Internal concurrency token, not part of the API
+    @JsonIgnore
+    @Version
+    private Long version;
 }
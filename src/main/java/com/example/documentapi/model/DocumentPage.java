@@ -0,0 +1,27 @@
+package com.example.documentapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.util.UUID;
+
+@Entity
+@Table(name = "document_pages")
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentPage {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    private UUID documentId;
+
+    // 1-based page number
+    private Integer pageNumber;
+
+    @Column(columnDefinition = "TEXT")
+    private String text;
+
+    private Integer charCount;
+}
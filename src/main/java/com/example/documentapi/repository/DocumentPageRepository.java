@@ -0,0 +1,12 @@
+package com.example.documentapi.repository;
+
+import com.example.documentapi.model.DocumentPage;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface DocumentPageRepository extends JpaRepository<DocumentPage, UUID> {
+
+    List<DocumentPage> findByDocumentIdOrderByPageNumber(UUID documentId);
+}
@@ -1,9 +1,44 @@
 package com.example.documentapi.repository;
 
 import com.example.documentapi.model.Document;
+import com.example.documentapi.model.DocumentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface DocumentRepository extends JpaRepository<Document, UUID> {
-}
\ No newline at end of file
+
+    List<Document> findByStatus(DocumentStatus status);
+
+    List<Document> findByStatusAndProcessingStartedAtBefore(DocumentStatus status, OffsetDateTime cutoff);
+
+    /**
+     * Move the document from one status to another only if it is still in the expected one.
+     * @return the number of updated rows (0 if another node changed it first)
+     */
+    @Modifying
+    @Query("update Document d set d.status = :to, d.processingStartedAt = :processingStartedAt, "
+            + "d.version = d.version + 1 where d.id = :id and d.status = :from")
+    int updateStatusIf(@Param("id") UUID id,
+                       @Param("from") DocumentStatus from,
+                       @Param("to") DocumentStatus to,
+                       @Param("processingStartedAt") OffsetDateTime processingStartedAt);
+
+    /**
+     * Same as updateStatusIf, but only if the row is still at the version the caller last saw.
+     * @return the number of updated rows (0 if anyone else wrote the document since)
+     */
+    @Modifying
+    @Query("update Document d set d.status = :to, d.processingStartedAt = :processingStartedAt, "
+            + "d.version = d.version + 1 where d.id = :id and d.status = :from and d.version = :version")
+    int updateStatusIf(@Param("id") UUID id,
+                       @Param("from") DocumentStatus from,
+                       @Param("to") DocumentStatus to,
+                       @Param("processingStartedAt") OffsetDateTime processingStartedAt,
+                       @Param("version") Long version);
+}
@@ -1,13 +1,21 @@
 package com.example.documentapi.service;
 
 import com.example.documentapi.model.Document;
+import com.example.documentapi.model.DocumentPage;
 import com.example.documentapi.model.DocumentStatus;
+import com.example.documentapi.repository.DocumentPageRepository;
 import com.example.documentapi.repository.DocumentRepository;
+import com.example.documentapi.utils.ExtractionInterruptedException;
 import com.example.documentapi.utils.PDFExtraction;
+import com.example.documentapi.utils.PDFExtractionResult;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -16,12 +24,19 @@ public class DocumentProcessingService {
 
     private final int MAX_RETRIES = 3;
     private final DocumentRepository repository;
+    private final DocumentPageRepository pageRepository;
     private final DocumentStatusUpdater statusUpdater;
     private final PDFExtraction pdfExtraction;
 
+    // Artificial delay before each extraction, set to 0 for load tests
+    @Value("${app.processing.simulated-delay-ms:30000}")
+    private long simulatedDelayMs;
+
     /**
      * Process the documents from the queue
      * Retry the job 3 times if it failed.
+     * If the worker is shut down mid-job, the document is handed back as UPLOADED
+     * and the pages extracted so far are kept so the next attempt resumes after them.
      * @param documentId: the document id.
      */
     public void process(UUID documentId) {
@@ -34,32 +49,55 @@ public class DocumentProcessingService {
             return;
         }
 
+        // Commit PROCESSING immediately in its own transaction.
+        // Another node may have claimed the document since it was queued here.
+        if (!statusUpdater.claim(documentId)) {
+            return;
+        }
+
+        // Reload entity from DB to pick up processingStartedAt set in the REQUIRES_NEW tx
+        doc = repository.findById(documentId)
+                .orElseThrow(() -> new IllegalStateException("Document not found: " + documentId));
+
         // Get the number of retries so far
         int retryCount = doc.getRetryCount() == null ? 0 : doc.getRetryCount();
 
+        // Retries keep the document PROCESSING, processingStartedAt is the first attempt's start
         while (retryCount < MAX_RETRIES) {
-            // Commit PROCESSING immediately in its own transaction
-            statusUpdater.markProcessing(documentId);
-
-            // Reload entity from DB to pick up processingStartedAt set in the REQUIRES_NEW tx
-            doc = repository.findById(documentId)
-                    .orElseThrow(() -> new IllegalStateException("Document not found: " + documentId));
-
             try {
                 // Long-running work outside any transaction
-                Thread.sleep(30000);
+                Thread.sleep(simulatedDelayMs);
 
-                // Simulate PDF real extraction
-                String extractedText = pdfExtraction.extractText(doc.getFilename());
+                // Load and parse the PDF once, saving each page as a checkpoint
+                PDFExtractionResult result = pdfExtraction.extract(doc.getFilename(),
+                        checkpointedPages(documentId),
+                        (pageNumber, text) -> pageRepository.save(
+                                new DocumentPage(null, documentId, pageNumber, text, text.length())));
 
-                // If successful, mark as DONE and break out of the retry loop
-                doc.setExtractedText(extractedText);
+                // If successful, mark as DONE and stop retrying
+                doc.setExtractedText(result.getText());
+                doc.setPageCount(result.getPageCount());
+                doc.setCharCount(result.getCharCount());
+                doc.setHasTextLayer(result.hasTextLayer());
+                doc.setTitle(result.getTitle());
+                doc.setAuthor(result.getAuthor());
+                doc.setSubject(result.getSubject());
+                doc.setLanguage(result.getLanguage());
                 doc.setStatus(DocumentStatus.DONE);
                 doc.setCompletedAt(OffsetDateTime.now());
-                repository.saveAndFlush(doc);
-                break;
+                saveIfOwned(doc);
+                return;
 
             } catch (Exception ex) {
+                if (isShutdown(ex)) {
+                    // Shutting down: not a failure, give the document back without using a retry.
+                    // Clear the flag while releasing so the connection pool does not abort the update.
+                    Thread.interrupted();
+                    statusUpdater.release(documentId, doc.getVersion());
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
                 retryCount += 1;
                 doc.setRetryCount(retryCount);
                 // If max retries reached, mark as FAILED
@@ -69,8 +107,54 @@ public class DocumentProcessingService {
                     doc.setErrorMessage(ex.getMessage());
                     doc.setCompletedAt(OffsetDateTime.now());
                 }
-                repository.saveAndFlush(doc);
+                doc = saveIfOwned(doc);
+                if (doc == null) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Save the document only if no one else wrote it since this attempt read it (@Version check),
+     * e.g. because it was handed back and claimed by another node. The other attempt's result wins.
+     * @param doc: the document read or last saved by this attempt.
+     * @return the saved document, or null if this attempt does not own the document anymore.
+     */
+    private Document saveIfOwned(Document doc) {
+        try {
+            return repository.saveAndFlush(doc);
+        } catch (OptimisticLockingFailureException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Tell a worker shutdown apart from a real failure. Only the pool interrupting this thread counts,
+     * other IOExceptions such as socket timeouts go through the retry path.
+     * @param ex: the exception thrown by the attempt.
+     * @return true if the attempt stopped because the worker is shutting down.
+     */
+    private boolean isShutdown(Exception ex) {
+        return ex instanceof InterruptedException
+                || ex instanceof ExtractionInterruptedException
+                || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Return the texts of the pages saved by previous attempts.
+     * Pages are saved in order, so only the leading run of consecutive page numbers is used.
+     * @param documentId: the document id.
+     * @return the texts of pages 1..n already extracted.
+     */
+    private List<String> checkpointedPages(UUID documentId) {
+        List<String> texts = new ArrayList<>();
+        for (DocumentPage page : pageRepository.findByDocumentIdOrderByPageNumber(documentId)) {
+            if (page.getPageNumber() != texts.size() + 1) {
+                break;
             }
+            texts.add(page.getText());
         }
+        return texts;
     }
 }
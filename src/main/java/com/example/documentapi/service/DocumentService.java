@@ -2,18 +2,14 @@ package com.example.documentapi.service;
 
 import com.example.documentapi.model.*;
 import com.example.documentapi.repository.DocumentRepository;
+import com.example.documentapi.storage.BlobStore;
 import com.example.documentapi.worker.DocumentJobQueue;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,9 +20,7 @@ public class DocumentService {
 
     private final DocumentRepository repository;
     private final DocumentJobQueue jobQueue;
-
-    @Value("${app.files.base-dir:/data/files}")
-    private String filesBaseDir;
+    private final BlobStore blobStore;
 
     /**
      * Save the document and enqueue a processing job.
@@ -35,12 +29,9 @@ public class DocumentService {
      */
     public Document upload(MultipartFile file) {
         try {
-            Path base = Paths.get(filesBaseDir);
-            Files.createDirectories(base);
             String originalFileName = Optional.ofNullable(file.getOriginalFilename()).orElse("file.pdf");
-            Path dest = base.resolve(originalFileName);
             try (InputStream in = file.getInputStream()) {
-                Files.copy(in, dest, StandardCopyOption.REPLACE_EXISTING);
+                blobStore.put(originalFileName, in, file.getSize());
             }
 
             // Save a new Document entity
@@ -1,6 +1,5 @@
 package com.example.documentapi.service;
 
-import com.example.documentapi.model.Document;
 import com.example.documentapi.model.DocumentStatus;
 import com.example.documentapi.repository.DocumentRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,16 +17,25 @@ public class DocumentStatusUpdater {
     private final DocumentRepository repository;
 
     /**
-     * Mark the document as PROCESSING when the queue starts processing it.
+     * Claim an UPLOADED document for this node by moving it to PROCESSING.
      * @param documentId: the document id.
+     * @return true if the claim succeeded, false if the document was not UPLOADED anymore.
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void markProcessing(UUID documentId) {
-        Document doc = repository.findById(documentId)
-                .orElseThrow(() -> new IllegalStateException("Document not found: " + documentId));
-        doc.setStatus(DocumentStatus.PROCESSING);
-        doc.setProcessingStartedAt(OffsetDateTime.now());
-        doc.setErrorMessage(null);
-        repository.saveAndFlush(doc);
+    public boolean claim(UUID documentId) {
+        return repository.updateStatusIf(documentId, DocumentStatus.UPLOADED,
+                DocumentStatus.PROCESSING, OffsetDateTime.now()) == 1;
     }
-}
\ No newline at end of file
+
+    /**
+     * Hand a PROCESSING document back to UPLOADED so another node can pick it up.
+     * Does nothing if the document is not PROCESSING or was written by anyone else since
+     * the caller's attempt last saw it at the given version.
+     * @param documentId: the document id.
+     * @param version: the version of the document last read or written by the releasing attempt.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(UUID documentId, Long version) {
+        repository.updateStatusIf(documentId, DocumentStatus.PROCESSING, DocumentStatus.UPLOADED, null, version);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.documentapi.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Storage backend for uploaded files.
+ * Upload nodes write objects through {@link #put}, workers read them back through {@link #open}
+ * so extraction does not depend on a shared filesystem mount.
+ */
+public interface BlobStore {
+
+    /**
+     * Store an object, replacing any existing object with the same key.
+     * @param key the object key (the original file name)
+     * @param in the object content
+     * @param length the content length in bytes
+     * @throws IOException if the object could not be written
+     */
+    void put(String key, InputStream in, long length) throws IOException;
+
+    /**
+     * Return a local file holding the object content, fetching it first if needed.
+     * The file stays available until the returned handle is closed.
+     * @param key the object key
+     * @return a handle to a local copy of the object
+     * @throws IOException if the object does not exist or could not be read
+     */
+    LocalBlob open(String key) throws IOException;
+}
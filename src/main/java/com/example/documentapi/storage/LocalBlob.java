@@ -0,0 +1,19 @@
+package com.example.documentapi.storage;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+
+/**
+ * A local file holding an object's content, valid until closed.
+ * Cached files stay pinned (never evicted) while a handle to them is open.
+ */
+public interface LocalBlob extends Closeable {
+
+    /**
+     * @return the path to the local file, to be treated as read-only
+     */
+    Path path();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,184 @@
+package com.example.documentapi.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of remote objects on local disk.
+ * Entries are evicted least recently used first once the total size exceeds maxBytes.
+ * Entries with an open {@link LocalBlob} handle are pinned and skipped by eviction,
+ * so the cache may exceed maxBytes while many large entries are in use.
+ */
+public class LocalBlobCache {
+
+    private static final String SUFFIX = ".blob";
+    private static final String DOWNLOAD_PREFIX = "download-";
+    private static final String DOWNLOAD_SUFFIX = ".part";
+
+    private final Path dir;
+    private final long maxBytes;
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * Writes the content of a missing entry to the given stream.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        void load(OutputStream out) throws IOException;
+    }
+
+    private static class Entry {
+        private long size;
+        // Number of open handles, the entry cannot be evicted while positive
+        private int pins;
+
+        private Entry(long size) {
+            this.size = size;
+        }
+    }
+
+    public LocalBlobCache(Path dir, long maxBytes) throws IOException {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(dir);
+        // The index is in memory only, so entries left by a previous run cannot be tracked,
+        // and downloads interrupted by a crash are never completed
+        deleteMatching("*" + SUFFIX);
+        deleteMatching(DOWNLOAD_PREFIX + "*" + DOWNLOAD_SUFFIX);
+    }
+
+    private void deleteMatching(String glob) throws IOException {
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(dir, glob)) {
+            for (Path p : stale) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    /**
+     * Return a pinned handle to the cached file for the key, loading it on a miss.
+     * The caller must close the handle once it no longer reads the file.
+     * @param key the cache key
+     * @param loader writes the entry content on a miss
+     * @return a handle to the cached file
+     * @throws IOException if the loader fails
+     */
+    public LocalBlob get(String key, Loader loader) throws IOException {
+        Path target = dir.resolve(fileName(key));
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && Files.exists(target)) {
+                return pin(entry, target);
+            }
+        }
+
+        // Download to a temp file so readers never see a partial entry
+        Path tmp = Files.createTempFile(dir, DOWNLOAD_PREFIX, DOWNLOAD_SUFFIX);
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                loader.load(out);
+            }
+            long size = Files.size(tmp);
+            // Move under the lock so a concurrent eviction of the same key cannot delete the new file
+            synchronized (this) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                // Another thread may have loaded the same key meanwhile, keep its pins
+                Entry entry = entries.get(key);
+                if (entry == null) {
+                    entry = new Entry(size);
+                    entries.put(key, entry);
+                    totalBytes += size;
+                } else {
+                    totalBytes += size - entry.size;
+                    entry.size = size;
+                }
+                LocalBlob blob = pin(entry, target);
+                evict();
+                return blob;
+            }
+        } catch (IOException ex) {
+            Files.deleteIfExists(tmp);
+            throw ex;
+        }
+    }
+
+    /**
+     * @return the total size in bytes of the cached entries
+     */
+    public synchronized long size() {
+        return totalBytes;
+    }
+
+    /**
+     * @param key the cache key
+     * @return true if the key is currently cached
+     */
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    private LocalBlob pin(Entry entry, Path target) {
+        entry.pins++;
+        return new LocalBlob() {
+            private boolean closed;
+
+            @Override
+            public Path path() {
+                return target;
+            }
+
+            @Override
+            public void close() {
+                synchronized (LocalBlobCache.this) {
+                    if (closed) {
+                        return;
+                    }
+                    closed = true;
+                    entry.pins--;
+                    // Entries skipped while pinned may be evictable now
+                    evict();
+                }
+            }
+        };
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            if (eldest.getValue().pins > 0) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(dir.resolve(fileName(eldest.getKey())));
+            } catch (IOException ex) {
+                // Keep it indexed so the file is not leaked, it will be retried on the next eviction
+                continue;
+            }
+            totalBytes -= eldest.getValue().size;
+            it.remove();
+        }
+    }
+
+    private static String fileName(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash) + SUFFIX;
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.documentapi.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Blob store backed by a directory on the local filesystem (app.files.base-dir).
+ * Objects are read in place, so no caching is needed.
+ */
+public class LocalBlobStore implements BlobStore {
+
+    private final Path baseDir;
+
+    public LocalBlobStore(Path baseDir) {
+        this.baseDir = baseDir;
+    }
+
+    @Override
+    public void put(String key, InputStream in, long length) throws IOException {
+        Files.createDirectories(baseDir);
+        Files.copy(in, baseDir.resolve(key), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public LocalBlob open(String key) throws IOException {
+        Path path = baseDir.resolve(key);
+        if (!Files.exists(path)) {
+            throw new NoSuchFileException(path.toString());
+        }
+        // Files are read in place, nothing to release
+        return new LocalBlob() {
+            @Override
+            public Path path() {
+                return path;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
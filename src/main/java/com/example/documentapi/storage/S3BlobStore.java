@@ -0,0 +1,130 @@
+package com.example.documentapi.storage;
+
+import com.example.documentapi.utils.ExtractionInterruptedException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
+
+/**
+ * Blob store backed by an S3-compatible object store (AWS S3, MinIO, ...).
+ * Reads go through a local LRU disk cache and are fetched with ranged GETs pinned to the ETag
+ * seen by the HEAD request, so large objects never sit in memory and a re-upload during the
+ * download fails it instead of mixing both versions. A failed range read is retried a few times,
+ * resuming from the last byte received.
+ */
+public class S3BlobStore implements BlobStore {
+
+    // Attempts per range before the whole download fails
+    private static final int MAX_RANGE_ATTEMPTS = 3;
+    private static final int HTTP_PRECONDITION_FAILED = 412;
+
+    private final S3Client client;
+    private final String bucket;
+    private final LocalBlobCache cache;
+    private final long chunkBytes;
+
+    public S3BlobStore(S3Client client, String bucket, LocalBlobCache cache, long chunkBytes) {
+        this.client = client;
+        this.bucket = bucket;
+        this.cache = cache;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Create the bucket if it does not exist yet (convenient for local MinIO setups).
+     */
+    public void createBucketIfMissing() {
+        try {
+            client.headBucket(HeadBucketRequest.builder().bucket(bucket).build());
+        } catch (NoSuchBucketException ex) {
+            client.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        }
+    }
+
+    @Override
+    public void put(String key, InputStream in, long length) throws IOException {
+        try {
+            client.putObject(
+                    PutObjectRequest.builder().bucket(bucket).key(key).contentLength(length).build(),
+                    RequestBody.fromInputStream(in, length));
+        } catch (SdkException ex) {
+            throw new IOException("Failed to upload object " + key, ex);
+        }
+    }
+
+    @Override
+    public LocalBlob open(String key) throws IOException {
+        HeadObjectResponse head = head(key);
+        // Include the ETag so a re-uploaded object with the same key is not served stale
+        return cache.get(key + "#" + head.eTag(), out -> copyInChunks(key, head.eTag(), head.contentLength(), out));
+    }
+
+    private HeadObjectResponse head(String key) throws IOException {
+        try {
+            return client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+        } catch (NoSuchKeyException ex) {
+            throw new NoSuchFileException(bucket + "/" + key);
+        } catch (SdkException ex) {
+            throw new IOException("Failed to read object metadata " + key, ex);
+        }
+    }
+
+    private void copyInChunks(String key, String eTag, long size, OutputStream out) throws IOException {
+        for (long offset = 0; offset < size; offset += chunkBytes) {
+            copyRange(key, eTag, offset, Math.min(offset + chunkBytes, size) - 1, out);
+        }
+    }
+
+    private void copyRange(String key, String eTag, long first, long last, OutputStream out) throws IOException {
+        long position = first;
+        int failures = 0;
+        Exception error = null;
+        byte[] buffer = new byte[8192];
+        while (position <= last) {
+            if (Thread.currentThread().isInterrupted()) {
+                // Shutting down: stop between requests instead of finishing a large download
+                throw new ExtractionInterruptedException("Interrupted while reading object " + key);
+            }
+            GetObjectRequest request = GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .range("bytes=" + position + "-" + last)
+                    .ifMatch(eTag)
+                    .build();
+            try (InputStream in = client.getObject(request)) {
+                int n;
+                while (position <= last && (n = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, n);
+                    position += n;
+                }
+            } catch (S3Exception ex) {
+                if (ex.statusCode() == HTTP_PRECONDITION_FAILED) {
+                    // Re-uploaded since the HEAD request: the next attempt starts over with the new ETag
+                    throw new IOException("Object " + key + " changed during download", ex);
+                }
+                error = ex;
+            } catch (SdkException | IOException ex) {
+                error = ex;
+            }
+
+            // Short or failed read: retry from the last byte received
+            if (position <= last && ++failures >= MAX_RANGE_ATTEMPTS) {
+                throw new IOException("Failed to read object " + key + " at offset " + position, error);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.documentapi.utils;
+
+import java.io.IOException;
+
+/**
+ * Thrown when extraction stops at a page boundary because the worker thread was interrupted (shutdown).
+ * Deliberately not an InterruptedIOException, whose subclasses include socket timeouts.
+ */
+public class ExtractionInterruptedException extends IOException {
+
+    public ExtractionInterruptedException(String message) {
+        super(message);
+    }
+}
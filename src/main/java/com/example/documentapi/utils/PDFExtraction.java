@@ -1,44 +1,100 @@
 package com.example.documentapi.utils;
 
+import com.example.documentapi.storage.BlobStore;
+import com.example.documentapi.storage.LocalBlob;
+import lombok.RequiredArgsConstructor;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.text.PDFTextStripper;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
+@RequiredArgsConstructor
 public final class PDFExtraction {
 
-    // Base directory for files, injected from application properties
-    @Value("${app.files.base-dir:/data/files}")
-    private String filesBaseDir;
+    // Resolves file names to local files (shared mount or cached remote object)
+    private final BlobStore blobStore;
 
-    private PDFExtraction() {}
+    /**
+     * Receives the text of each page as soon as it is extracted.
+     */
+    @FunctionalInterface
+    public interface PageListener {
+        void pageExtracted(int pageNumber, String text) throws IOException;
+    }
 
     /**
-     * Extract text from a PDF file at the given path.
-     * @param path the path to the PDF file
-     * @return the extracted text
+     * Load the PDF stored under the given file name once and extract per-page text and document info
+     * in a single pass, resuming after the pages already extracted by a previous attempt.
+     * Extraction stops with an ExtractionInterruptedException at the next page boundary once the thread is interrupted.
+     * @param filename the name of the PDF file (its blob store key)
+     * @param checkpointedPages texts of the first pages, already extracted and saved
+     * @param listener called after each newly extracted page
+     * @return the extraction result covering all pages
      * @throws IOException if an I/O error occurs
      */
-    public String extractText(Path path) throws IOException {
-        try (PDDocument doc = PDDocument.load(path.toFile())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(doc);
+    public PDFExtractionResult extract(String filename, List<String> checkpointedPages, PageListener listener)
+            throws IOException {
+        try (LocalBlob blob = blobStore.open(filename);
+             PDDocument doc = PDDocument.load(blob.path().toFile())) {
+            PageCollectingStripper stripper = new PageCollectingStripper(checkpointedPages, listener);
+            stripper.setStartPage(checkpointedPages.size() + 1);
+            stripper.writeText(doc, stripper.buffer);
+
+            PDDocumentInformation info = doc.getDocumentInformation();
+            return new PDFExtractionResult(
+                    stripper.pageTexts,
+                    info.getTitle(),
+                    info.getAuthor(),
+                    info.getSubject(),
+                    doc.getDocumentCatalog().getLanguage(),
+                    doc.getNumberOfPages());
         }
     }
 
     /**
-     * Extract text from a PDF file at the given file name.
-     * @param filename the name of the PDF file
-     * @return the extracted text
-     * @throws IOException if an I/O error occurs
+     * Text stripper that splits its output per page while writing the whole document once.
      */
-    public String extractText(String filename) throws IOException {
-        Path pdfPath = Paths.get(filesBaseDir, filename);
-        return extractText(pdfPath);
+    private static class PageCollectingStripper extends PDFTextStripper {
+
+        private final StringWriter buffer = new StringWriter();
+        private final List<String> pageTexts;
+        private final PageListener listener;
+
+        PageCollectingStripper(List<String> checkpointedPages, PageListener listener) throws IOException {
+            super();
+            this.pageTexts = new ArrayList<>(checkpointedPages);
+            this.listener = listener;
+        }
+
+        @Override
+        protected void endPage(PDPage page) throws IOException {
+            super.endPage(page);
+            // Everything written since the previous page ended belongs to this page
+            StringBuffer written = buffer.getBuffer();
+            String text = written.toString();
+            written.setLength(0);
+            pageTexts.add(text);
+
+            // Clear the flag while checkpointing so the connection pool does not abort the save,
+            // then stop here: PDFBox itself ignores interrupts
+            boolean interrupted = Thread.interrupted();
+            try {
+                listener.pageExtracted(getCurrentPageNo(), text);
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new ExtractionInterruptedException("Extraction interrupted after page " + getCurrentPageNo());
+            }
+        }
     }
-}
\ No newline at end of file
+}
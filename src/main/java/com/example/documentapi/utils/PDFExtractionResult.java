@@ -0,0 +1,45 @@
+package com.example.documentapi.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Everything extracted from a single load of a PDF: per-page text and document info.
+ */
+@Getter
+@AllArgsConstructor
+public class PDFExtractionResult {
+
+    // Text of each page, index 0 is page 1
+    private final List<String> pageTexts;
+
+    private final String title;
+    private final String author;
+    private final String subject;
+    private final String language;
+
+    private final int pageCount;
+
+    /**
+     * @return the text of all pages concatenated, same as PDFTextStripper.getText
+     */
+    public String getText() {
+        return String.join("", pageTexts);
+    }
+
+    /**
+     * @return the number of characters across all pages
+     */
+    public int getCharCount() {
+        return pageTexts.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * @return true if at least one page has non-whitespace text (false for scanned PDFs)
+     */
+    public boolean hasTextLayer() {
+        return pageTexts.stream().anyMatch(text -> !text.isBlank());
+    }
+}
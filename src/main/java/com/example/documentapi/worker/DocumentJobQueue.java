@@ -2,8 +2,10 @@ package com.example.documentapi.worker;
 
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 
 @Component
@@ -11,13 +13,17 @@ public class DocumentJobQueue {
 
     // Thread-safe queue to hold document IDs for processing
     private final BlockingQueue<UUID> queue = new LinkedBlockingQueue<>();
+    // IDs currently in the queue, so periodic sweeps do not queue a document twice
+    private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
 
     /**
-     * Enqueue a document ID for processing.
+     * Enqueue a document ID for processing, unless it is already queued.
      * @param documentId the document ID to enqueue
      */
     public void enqueue(UUID documentId) {
-        queue.offer(documentId);
+        if (queued.add(documentId)) {
+            queue.offer(documentId);
+        }
     }
 
     /**
@@ -26,6 +32,8 @@ public class DocumentJobQueue {
      * @throws InterruptedException if interrupted while waiting
      */
     public UUID take() throws InterruptedException {
-        return queue.take();
+        UUID documentId = queue.take();
+        queued.remove(documentId);
+        return documentId;
     }
-}
\ No newline at end of file
+}
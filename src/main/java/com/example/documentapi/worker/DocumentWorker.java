@@ -1,14 +1,25 @@
 package com.example.documentapi.worker;
 
+import com.example.documentapi.model.Document;
+import com.example.documentapi.model.DocumentStatus;
+import com.example.documentapi.repository.DocumentRepository;
 import com.example.documentapi.service.DocumentProcessingService;
+import com.example.documentapi.service.DocumentStatusUpdater;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.OffsetDateTime;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
@@ -16,18 +27,49 @@ public class DocumentWorker {
 
     // Adjust the pool size as needed (e.g., based on CPU)
     private final static int NUMBER_OF_THREADS = 4;
+    // Time interrupted jobs get to reach a page boundary and hand their document back
+    private final static long INTERRUPT_GRACE_SECONDS = 5;
     private final DocumentProcessingService documentProcessingService;
     private final DocumentJobQueue jobQueue;
     private final DocumentProcessingService processingService;
+    private final DocumentRepository repository;
+    private final DocumentStatusUpdater statusUpdater;
     private final ExecutorService pool = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    private final ScheduledExecutorService recovery = Executors.newSingleThreadScheduledExecutor();
+    // Documents submitted to the pool whose job has not started yet
+    private final Set<UUID> waiting = ConcurrentHashMap.newKeySet();
     private volatile boolean running = true;
     private Thread dispatcher;
 
+    // How long in-flight jobs may keep running on shutdown before they are interrupted
+    @Value("${app.worker.shutdown-timeout-seconds:30}")
+    private long shutdownTimeoutSeconds;
+
+    // PROCESSING documents older than this are assumed to belong to a node that died
+    @Value("${app.worker.processing-lease-seconds:1800}")
+    private long processingLeaseSeconds;
+
+    // How often the recovery sweep runs after startup, 0 disables it
+    @Value("${app.worker.recovery-interval-seconds:60}")
+    private long recoveryIntervalSeconds;
+
     /**
      * Start the dispatcher thread that listens for jobs and submits them to the pool.
+     * Runs the recovery sweep first, then every app.worker.recovery-interval-seconds.
      */
     @PostConstruct
     public void start() {
+        recover();
+        if (recoveryIntervalSeconds > 0) {
+            recovery.scheduleWithFixedDelay(() -> {
+                try {
+                    recover();
+                } catch (RuntimeException e) {
+                    // Keep the schedule alive, the next sweep tries again
+                }
+            }, recoveryIntervalSeconds, recoveryIntervalSeconds, TimeUnit.SECONDS);
+        }
+
         dispatcher = new Thread(() -> {
             while (running) {
                 try {
@@ -35,11 +77,23 @@ public class DocumentWorker {
                     UUID documentId = jobQueue.take();
 
                     // Process concurrently
-                    pool.submit(() -> processingService.process(documentId));
+                    waiting.add(documentId);
+                    try {
+                        pool.submit(() -> {
+                            waiting.remove(documentId);
+                            processingService.process(documentId);
+                        });
+                    } catch (RejectedExecutionException e) {
+                        waiting.remove(documentId);
+                        throw e;
+                    }
 
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     break;
+                } catch (RejectedExecutionException e) {
+                    // Pool is shutting down, the document is still UPLOADED and will be picked up again
+                    break;
                 }
             }
         }, "document-worker-dispatcher");
@@ -48,12 +102,53 @@ public class DocumentWorker {
     }
 
     /**
-     * Stop the dispatcher and shutdown the pool.
+     * Recovery sweep: hand PROCESSING documents whose claim is older than
+     * app.worker.processing-lease-seconds back to UPLOADED (their node died or lost its job),
+     * then queue every UPLOADED document not already queued or waiting in the pool
+     * (queued on a node that shut down, or handed back by it).
+     * The release is conditional on the version read here, so a document that finished
+     * or was claimed again in the meantime is left alone.
+     */
+    void recover() {
+        OffsetDateTime leaseExpiry = OffsetDateTime.now().minusSeconds(processingLeaseSeconds);
+        for (Document doc : repository.findByStatusAndProcessingStartedAtBefore(DocumentStatus.PROCESSING, leaseExpiry)) {
+            statusUpdater.release(doc.getId(), doc.getVersion());
+        }
+
+        for (Document doc : repository.findByStatus(DocumentStatus.UPLOADED)) {
+            if (!waiting.contains(doc.getId())) {
+                jobQueue.enqueue(doc.getId());
+            }
+        }
+    }
+
+    /**
+     * Drain the worker on shutdown: stop claiming new jobs, let in-flight jobs finish within
+     * app.worker.shutdown-timeout-seconds, then interrupt the rest. Interrupted jobs
+     * checkpoint their pages and release their own document back to UPLOADED.
      */
     @PreDestroy
     public void stop() {
+        recovery.shutdownNow();
         running = false;
         if (dispatcher != null) dispatcher.interrupt();
-        pool.shutdownNow();
+        pool.shutdown();
+
+        try {
+            if (!pool.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                // Drops jobs that have not started and interrupts the running ones
+                pool.shutdownNow();
+                pool.awaitTermination(INTERRUPT_GRACE_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        // Jobs that never started (still queued, or waiting in the pool) never claimed their
+        // document, so it is still UPLOADED and the next recovery sweep on any node queues it
+        // again. Documents of jobs still running (stuck inside a page, an S3 read or a DB call)
+        // are left alone: they stay PROCESSING until the job releases them itself or their
+        // lease expires, so no other node can claim them in the meantime.
     }
 }
@@ -17,6 +17,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -65,13 +66,15 @@ class DocumentControllerTest {
         Document doc = new Document();
         doc.setId(id);
         doc.setFilename("test.pdf");
+        doc.setVersion(7L);
 
         when(service.getById(id)).thenReturn(Optional.of(doc));
 
         mockMvc.perform(get("/documents/{id}", id))
                 .andExpect(status().isOk())
                 .andExpect(content().string(containsString(id.toString())))
-                .andExpect(content().string(containsString("test.pdf")));
+                .andExpect(content().string(containsString("test.pdf")))
+                .andExpect(content().string(not(containsString("version"))));
     }
 
     @Test
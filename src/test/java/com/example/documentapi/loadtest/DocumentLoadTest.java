@@ -0,0 +1,58 @@
+package com.example.documentapi.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Capacity run of a single node against a Testcontainers Postgres.
+ * Excluded from the default build, run with ./mvnw test -Ploadtest (tune with -Dloadtest.* properties).
+ */
+@Tag("loadtest")
+@Testcontainers
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.processing.simulated-delay-ms=0", "spring.jpa.show-sql=false"})
+class DocumentLoadTest {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16")
+            .withCopyFileToContainer(MountableFile.forHostPath("db/init"), "/docker-entrypoint-initdb.d/");
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("app.storage.type", () -> "local");
+        registry.add("app.files.base-dir", Files.createTempDirectory("load-test-files")::toString);
+    }
+
+    @Test
+    void reportsThroughputAndLatencies() throws Exception {
+        LoadGenerator.Options options = LoadGenerator.Options.fromSystemProperties(URI.create("http://localhost:" + port));
+
+        LoadReport report = new LoadGenerator(options).run();
+        report.print(System.out);
+
+        assertEquals(options.documents(), report.getAccepted().get());
+        assertEquals(0, report.getTimedOut());
+        assertEquals(options.documents(), report.getCompleted().get() + report.getFailed().get());
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.documentapi.loadtest;
+
+import org.springframework.boot.json.JsonParser;
+import org.springframework.boot.json.JsonParserFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open-loop load generator for the document API.
+ * Uploads synthetic PDFs through POST /documents at a fixed rate, polls GET /documents/{id}
+ * until every document is DONE or FAILED and reports throughput and stage latencies.
+ *
+ * Run against an already running deployment (e.g. docker compose) with:
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.example.documentapi.loadtest.LoadGenerator -Dloadtest.base-url=http://localhost:8080
+ */
+public class LoadGenerator {
+
+    // Distinct PDFs generated up front and reused, so generation cost stays out of the measurement
+    private static final int DISTINCT_PDFS = 16;
+
+    private final Options options;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final JsonParser json = JsonParserFactory.getJsonParser();
+
+    /**
+     * Load run settings, read from loadtest.* system properties.
+     */
+    public record Options(URI baseUrl, int documents, double ratePerSecond, int pages, int wordsPerPage,
+                          int imagesPerPage, Duration pollInterval, Duration timeout, long seed) {
+
+        public Options {
+            // Also rejects NaN, which would otherwise schedule uploads with a zero period
+            if (!(ratePerSecond > 0)) {
+                throw new IllegalArgumentException("loadtest.rate must be positive, got " + ratePerSecond);
+            }
+        }
+
+        public static Options fromSystemProperties(URI defaultBaseUrl) {
+            return new Options(
+                    URI.create(System.getProperty("loadtest.base-url", defaultBaseUrl.toString())),
+                    Integer.getInteger("loadtest.documents", 50),
+                    Double.parseDouble(System.getProperty("loadtest.rate", "5")),
+                    Integer.getInteger("loadtest.pages", 5),
+                    Integer.getInteger("loadtest.words-per-page", 300),
+                    Integer.getInteger("loadtest.images-per-page", 0),
+                    Duration.ofMillis(Long.getLong("loadtest.poll-interval-ms", 500)),
+                    Duration.ofSeconds(Long.getLong("loadtest.timeout-seconds", 600)),
+                    Long.getLong("loadtest.seed", 42));
+        }
+    }
+
+    public LoadGenerator(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.fromSystemProperties(URI.create("http://localhost:8080"));
+        new LoadGenerator(options).run().print(System.out);
+    }
+
+    /**
+     * Run the load and block until every accepted document finished or the timeout expired.
+     * @return the collected report
+     * @throws Exception if PDF generation fails or the run is interrupted
+     */
+    public LoadReport run() throws Exception {
+        LoadReport report = new LoadReport();
+        List<byte[]> pdfs = generatePdfs();
+        Set<UUID> pending = ConcurrentHashMap.newKeySet();
+        CountDownLatch uploads = new CountDownLatch(options.documents());
+        AtomicInteger next = new AtomicInteger();
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.ratePerSecond());
+        scheduler.scheduleAtFixedRate(() -> {
+            int n = next.getAndIncrement();
+            if (n < options.documents()) {
+                upload(n, pdfs.get(n % pdfs.size()), report, pending, uploads);
+            }
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+        try {
+            long deadline = System.nanoTime() + options.timeout().toNanos();
+            while ((uploads.getCount() > 0 || !pending.isEmpty()) && System.nanoTime() < deadline) {
+                for (UUID id : pending) {
+                    try {
+                        if (poll(id, report)) {
+                            pending.remove(id);
+                        }
+                    } catch (IOException e) {
+                        // Treat as not finished yet, the next round polls it again
+                    }
+                }
+                Thread.sleep(options.pollInterval().toMillis());
+            }
+        } finally {
+            scheduler.shutdownNow();
+        }
+        report.setTimedOut(pending.size() + (int) uploads.getCount());
+        return report;
+    }
+
+    private List<byte[]> generatePdfs() throws IOException {
+        SyntheticPdfGenerator generator = new SyntheticPdfGenerator(options.seed());
+        List<byte[]> pdfs = new ArrayList<>();
+        for (int i = 0; i < Math.min(DISTINCT_PDFS, options.documents()); i++) {
+            pdfs.add(generator.generate(options.pages(), options.wordsPerPage(), options.imagesPerPage()));
+        }
+        return pdfs;
+    }
+
+    private void upload(int n, byte[] pdf, LoadReport report, Set<UUID> pending, CountDownLatch uploads) {
+        // File names double as storage keys, so each upload needs its own
+        String filename = "loadtest-" + n + "-" + UUID.randomUUID() + ".pdf";
+        String boundary = "----loadtest" + UUID.randomUUID();
+        HttpRequest request = HttpRequest.newBuilder(options.baseUrl().resolve("/documents"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipartBody(boundary, filename, pdf)))
+                .build();
+
+        long start = System.nanoTime();
+        http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            boolean ok = error == null && response.statusCode() == 202;
+            report.recordUpload(System.nanoTime() - start, ok);
+            if (ok) {
+                pending.add(UUID.fromString(response.body().replace("\"", "").trim()));
+            }
+            uploads.countDown();
+        });
+    }
+
+    /**
+     * @return true once the document reached DONE or FAILED
+     */
+    private boolean poll(UUID id, LoadReport report) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(options.baseUrl().resolve("/documents/" + id)).GET().build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return false;
+        }
+
+        Map<String, Object> doc = json.parseMap(response.body());
+        Object status = doc.get("status");
+        if (!"DONE".equals(status) && !"FAILED".equals(status)) {
+            return false;
+        }
+        report.recordFinished("DONE".equals(status),
+                timestamp(doc.get("uploadedAt")),
+                timestamp(doc.get("processingStartedAt")),
+                timestamp(doc.get("completedAt")));
+        return true;
+    }
+
+    private static OffsetDateTime timestamp(Object value) {
+        return value == null ? null : OffsetDateTime.parse(value.toString());
+    }
+
+    private static byte[] multipartBody(String boundary, String filename, byte[] pdf) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(pdf.length + 256);
+        String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n";
+        body.writeBytes(head.getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(pdf);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+}
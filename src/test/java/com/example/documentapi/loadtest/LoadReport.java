@@ -0,0 +1,112 @@
+package com.example.documentapi.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SynchronizedHistogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput and latency percentiles collected by a load run.
+ * Stage latencies come from the server-side timestamps of each document, in milliseconds.
+ */
+@Getter
+public class LoadReport {
+
+    private static final long MAX_TRACKABLE_MS = TimeUnit.HOURS.toMillis(1);
+
+    // POST /documents round trip as seen by the client
+    private final Histogram uploadLatency = newHistogram();
+    // uploadedAt -> processingStartedAt (time spent queued)
+    private final Histogram queueLatency = newHistogram();
+    // processingStartedAt -> completedAt
+    private final Histogram processingLatency = newHistogram();
+    // uploadedAt -> completedAt
+    private final Histogram endToEndLatency = newHistogram();
+
+    private final AtomicInteger accepted = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private int timedOut;
+
+    private OffsetDateTime firstUploadedAt;
+    private OffsetDateTime lastCompletedAt;
+
+    void recordUpload(long nanos, boolean ok) {
+        uploadLatency.recordValue(clamp(TimeUnit.NANOSECONDS.toMillis(nanos)));
+        (ok ? accepted : rejected).incrementAndGet();
+    }
+
+    synchronized void recordFinished(boolean done, OffsetDateTime uploadedAt,
+                                     OffsetDateTime processingStartedAt, OffsetDateTime completedAt) {
+        (done ? completed : failed).incrementAndGet();
+        if (uploadedAt == null || completedAt == null) {
+            return;
+        }
+        if (processingStartedAt != null) {
+            queueLatency.recordValue(clamp(between(uploadedAt, processingStartedAt)));
+            processingLatency.recordValue(clamp(between(processingStartedAt, completedAt)));
+        }
+        endToEndLatency.recordValue(clamp(between(uploadedAt, completedAt)));
+
+        if (firstUploadedAt == null || uploadedAt.isBefore(firstUploadedAt)) {
+            firstUploadedAt = uploadedAt;
+        }
+        if (lastCompletedAt == null || completedAt.isAfter(lastCompletedAt)) {
+            lastCompletedAt = completedAt;
+        }
+    }
+
+    void setTimedOut(int timedOut) {
+        this.timedOut = timedOut;
+    }
+
+    /**
+     * @return documents finished (DONE or FAILED) per hour between the first upload and the last completion
+     */
+    public synchronized double getDocumentsPerHour() {
+        if (firstUploadedAt == null || lastCompletedAt == null) {
+            return 0;
+        }
+        long millis = Math.max(1, between(firstUploadedAt, lastCompletedAt));
+        return (completed.get() + failed.get()) * (double) TimeUnit.HOURS.toMillis(1) / millis;
+    }
+
+    /**
+     * Print a human readable summary.
+     * @param out the stream to print to
+     */
+    public void print(PrintStream out) {
+        out.printf("accepted=%d rejected=%d completed=%d failed=%d timedOut=%d%n",
+                accepted.get(), rejected.get(), completed.get(), failed.get(), timedOut);
+        out.printf("throughput=%.1f docs/hour%n", getDocumentsPerHour());
+        out.println("latency (ms)            p50      p90      p99    p99.9      max");
+        printRow(out, "upload", uploadLatency);
+        printRow(out, "uploaded->processing", queueLatency);
+        printRow(out, "processing->completed", processingLatency);
+        printRow(out, "uploaded->completed", endToEndLatency);
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram h) {
+        out.printf("%-22s %8d %8d %8d %8d %8d%n", name,
+                h.getValueAtPercentile(50), h.getValueAtPercentile(90), h.getValueAtPercentile(99),
+                h.getValueAtPercentile(99.9), h.getMaxValue());
+    }
+
+    private static Histogram newHistogram() {
+        return new SynchronizedHistogram(MAX_TRACKABLE_MS, 3);
+    }
+
+    private static long between(OffsetDateTime from, OffsetDateTime to) {
+        return Math.max(0, Duration.between(from, to).toMillis());
+    }
+
+    private static long clamp(long millis) {
+        return Math.min(millis, MAX_TRACKABLE_MS);
+    }
+}
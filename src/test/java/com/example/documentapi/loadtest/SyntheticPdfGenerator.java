@@ -0,0 +1,102 @@
+package com.example.documentapi.loadtest;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generate PDFs with a configurable number of pages, words per page and embedded images.
+ * Output is deterministic for a given seed.
+ */
+public class SyntheticPdfGenerator {
+
+    private static final String[] WORDS = {
+            "document", "invoice", "contract", "payment", "customer", "delivery", "report", "quarter",
+            "revenue", "account", "service", "agreement", "schedule", "total", "amount", "period",
+            "the", "of", "and", "to", "in", "for", "with", "on", "by", "from", "is", "are"
+    };
+    private static final int WORDS_PER_LINE = 12;
+    private static final float MARGIN = 50;
+    private static final int IMAGE_WIDTH = 160;
+    private static final int IMAGE_HEIGHT = 120;
+
+    private final Random random;
+
+    public SyntheticPdfGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Build a PDF in memory.
+     * @param pages the number of pages
+     * @param wordsPerPage the number of words on each page (text density), 0 for image-only pages
+     * @param imagesPerPage the number of random images embedded on each page
+     * @return the PDF bytes
+     * @throws IOException if the PDF could not be written
+     */
+    public byte[] generate(int pages, int wordsPerPage, int imagesPerPage) throws IOException {
+        try (PDDocument doc = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            doc.getDocumentInformation().setTitle("Synthetic load test document");
+            for (int i = 0; i < pages; i++) {
+                PDPage page = new PDPage(PDRectangle.LETTER);
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    writeImages(doc, content, page, imagesPerPage);
+                    writeText(content, page, wordsPerPage);
+                }
+            }
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private void writeText(PDPageContentStream content, PDPage page, int words) throws IOException {
+        if (words <= 0) {
+            return;
+        }
+        float height = page.getMediaBox().getHeight() - 2 * MARGIN;
+        int lines = (words + WORDS_PER_LINE - 1) / WORDS_PER_LINE;
+        // Shrink the font so dense pages still fit on the page
+        float fontSize = Math.max(2, Math.min(12, height / lines / 1.2f));
+
+        content.beginText();
+        content.setFont(PDType1Font.HELVETICA, fontSize);
+        content.setLeading(fontSize * 1.2f);
+        content.newLineAtOffset(MARGIN, page.getMediaBox().getHeight() - MARGIN);
+        StringBuilder line = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            line.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            if ((w + 1) % WORDS_PER_LINE == 0 || w == words - 1) {
+                content.showText(line.toString().trim());
+                content.newLine();
+                line.setLength(0);
+            }
+        }
+        content.endText();
+    }
+
+    private void writeImages(PDDocument doc, PDPageContentStream content, PDPage page, int images) throws IOException {
+        float width = page.getMediaBox().getWidth() - 2 * MARGIN - IMAGE_WIDTH;
+        float height = page.getMediaBox().getHeight() - 2 * MARGIN - IMAGE_HEIGHT;
+        for (int i = 0; i < images; i++) {
+            // Random noise so images do not compress away
+            BufferedImage image = new BufferedImage(IMAGE_WIDTH, IMAGE_HEIGHT, BufferedImage.TYPE_INT_RGB);
+            for (int x = 0; x < IMAGE_WIDTH; x++) {
+                for (int y = 0; y < IMAGE_HEIGHT; y++) {
+                    image.setRGB(x, y, random.nextInt(0xFFFFFF));
+                }
+            }
+            PDImageXObject xObject = LosslessFactory.createFromImage(doc, image);
+            content.drawImage(xObject, MARGIN + random.nextFloat() * width, MARGIN + random.nextFloat() * height);
+        }
+    }
+}
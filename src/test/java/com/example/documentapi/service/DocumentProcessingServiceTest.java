@@ -0,0 +1,129 @@
+package com.example.documentapi.service;
+
+import com.example.documentapi.model.Document;
+import com.example.documentapi.model.DocumentStatus;
+import com.example.documentapi.repository.DocumentPageRepository;
+import com.example.documentapi.repository.DocumentRepository;
+import com.example.documentapi.utils.ExtractionInterruptedException;
+import com.example.documentapi.utils.PDFExtraction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentProcessingServiceTest {
+
+    @Mock
+    private DocumentRepository repository;
+
+    @Mock
+    private DocumentPageRepository pageRepository;
+
+    @Mock
+    private DocumentStatusUpdater statusUpdater;
+
+    @Mock
+    private PDFExtraction pdfExtraction;
+
+    private DocumentProcessingService service;
+
+    private UUID id;
+
+    private Document doc;
+
+    @BeforeEach
+    void setUp() {
+        // simulatedDelayMs is not injected and stays 0
+        service = new DocumentProcessingService(repository, pageRepository, statusUpdater, pdfExtraction);
+        id = UUID.randomUUID();
+        doc = new Document();
+        doc.setId(id);
+        doc.setFilename("a.pdf");
+        doc.setStatus(DocumentStatus.UPLOADED);
+        doc.setRetryCount(0);
+        doc.setVersion(3L);
+        when(repository.findById(id)).thenReturn(Optional.of(doc));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Do not leak an interrupt into the next test
+        Thread.interrupted();
+    }
+
+    @Test
+    void processReturnsWithoutWorkWhenClaimFails() throws Exception {
+        when(statusUpdater.claim(id)).thenReturn(false);
+
+        service.process(id);
+
+        verifyNoInteractions(pdfExtraction);
+        verify(repository, never()).saveAndFlush(any());
+        verify(statusUpdater, never()).release(any(), any());
+    }
+
+    @Test
+    void processReleasesInterruptedJobWithoutUsingRetry() throws Exception {
+        when(statusUpdater.claim(id)).thenReturn(true);
+        when(pageRepository.findByDocumentIdOrderByPageNumber(id)).thenReturn(List.of());
+        when(pdfExtraction.extract(eq("a.pdf"), anyList(), any()))
+                .thenThrow(new ExtractionInterruptedException("Extraction interrupted after page 2"));
+
+        service.process(id);
+
+        verify(statusUpdater).release(id, 3L);
+        verify(repository, never()).saveAndFlush(any());
+        assertEquals(0, doc.getRetryCount());
+        // The interrupt is passed on so the pool thread can stop
+        assertTrue(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void processRetriesSocketTimeoutsInsteadOfReleasing() throws Exception {
+        when(statusUpdater.claim(id)).thenReturn(true);
+        when(pageRepository.findByDocumentIdOrderByPageNumber(id)).thenReturn(List.of());
+        when(pdfExtraction.extract(eq("a.pdf"), anyList(), any()))
+                .thenThrow(new SocketTimeoutException("Read timed out"));
+        when(repository.saveAndFlush(any(Document.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.process(id);
+
+        verify(statusUpdater, never()).release(any(), any());
+        verify(pdfExtraction, times(3)).extract(eq("a.pdf"), anyList(), any());
+        assertEquals(DocumentStatus.FAILED, doc.getStatus());
+        assertEquals(3, doc.getRetryCount());
+        assertEquals("Read timed out", doc.getErrorMessage());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void processDropsResultWhenAnotherAttemptOwnsTheDocument() throws Exception {
+        when(statusUpdater.claim(id)).thenReturn(true);
+        when(pageRepository.findByDocumentIdOrderByPageNumber(id)).thenReturn(List.of());
+        when(pdfExtraction.extract(eq("a.pdf"), anyList(), any()))
+                .thenThrow(new SocketTimeoutException("Read timed out"));
+        when(repository.saveAndFlush(any(Document.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Document.class, id));
+
+        service.process(id);
+
+        // No further attempts once the version check shows the document was taken over
+        verify(pdfExtraction, times(1)).extract(eq("a.pdf"), anyList(), any());
+        verify(repository, times(1)).saveAndFlush(any());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.documentapi.service;
 import com.example.documentapi.model.Document;
 import com.example.documentapi.model.DocumentStatus;
 import com.example.documentapi.repository.DocumentRepository;
+import com.example.documentapi.storage.LocalBlobStore;
 import com.example.documentapi.worker.DocumentJobQueue;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +13,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -39,9 +39,8 @@ class DocumentServiceTest {
 
     @BeforeEach
     void setUp() throws IOException {
-        service = new DocumentService(repository, jobQueue);
         tempDir = Files.createTempDirectory("document-service-test");
-        ReflectionTestUtils.setField(service, "filesBaseDir", tempDir.toString());
+        service = new DocumentService(repository, jobQueue, new LocalBlobStore(tempDir));
     }
 
     @AfterEach
@@ -0,0 +1,53 @@
+package com.example.documentapi.service;
+
+import com.example.documentapi.model.DocumentStatus;
+import com.example.documentapi.repository.DocumentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentStatusUpdaterTest {
+
+    @Mock
+    private DocumentRepository repository;
+
+    @InjectMocks
+    private DocumentStatusUpdater statusUpdater;
+
+    @Test
+    void claimMovesUploadedToProcessing() {
+        UUID id = UUID.randomUUID();
+        when(repository.updateStatusIf(eq(id), eq(DocumentStatus.UPLOADED), eq(DocumentStatus.PROCESSING), any()))
+                .thenReturn(1);
+
+        assertTrue(statusUpdater.claim(id));
+    }
+
+    @Test
+    void claimFailsWhenDocumentIsNoLongerUploaded() {
+        UUID id = UUID.randomUUID();
+        when(repository.updateStatusIf(eq(id), eq(DocumentStatus.UPLOADED), eq(DocumentStatus.PROCESSING), any()))
+                .thenReturn(0);
+
+        assertFalse(statusUpdater.claim(id));
+    }
+
+    @Test
+    void releaseOnlyAppliesAtTheAttemptsVersion() {
+        UUID id = UUID.randomUUID();
+
+        statusUpdater.release(id, 7L);
+
+        verify(repository).updateStatusIf(id, DocumentStatus.PROCESSING, DocumentStatus.UPLOADED, null, 7L);
+        verifyNoMoreInteractions(repository);
+    }
+}
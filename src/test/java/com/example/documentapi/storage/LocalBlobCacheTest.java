@@ -0,0 +1,152 @@
+package com.example.documentapi.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalBlobCacheTest {
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("blob-cache-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (tempDir != null && Files.exists(tempDir)) {
+            Files.walk(tempDir)
+                    .sorted((a, b) -> b.compareTo(a))
+                    .forEach(p -> {
+                        try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+                    });
+        }
+    }
+
+    @Test
+    void constructorDeletesEntriesAndDownloadsLeftByPreviousRun() throws Exception {
+        Files.write(tempDir.resolve("stale.blob"), new byte[8]);
+        Files.write(tempDir.resolve("download-123.part"), new byte[8]);
+        Files.write(tempDir.resolve("unrelated.txt"), new byte[8]);
+
+        new LocalBlobCache(tempDir, 1024);
+
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(tempDir.resolve("unrelated.txt")), files.toList());
+        }
+    }
+
+    @Test
+    void getLoadsOnceAndServesHitsFromDisk() throws Exception {
+        LocalBlobCache cache = new LocalBlobCache(tempDir, 1024);
+        AtomicInteger loads = new AtomicInteger();
+
+        try (LocalBlob first = cache.get("a.pdf", out -> {
+                 loads.incrementAndGet();
+                 out.write("hello".getBytes());
+             });
+             LocalBlob second = cache.get("a.pdf", out -> loads.incrementAndGet())) {
+            assertEquals(first.path(), second.path());
+            assertArrayEquals("hello".getBytes(), Files.readAllBytes(second.path()));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(5, cache.size());
+    }
+
+    @Test
+    void getEvictsLeastRecentlyUsedEntryWhenFull() throws Exception {
+        LocalBlobCache cache = new LocalBlobCache(tempDir, 10);
+        Path a;
+        try (LocalBlob blob = cache.get("a", out -> out.write(new byte[4]))) {
+            a = blob.path();
+        }
+        cache.get("b", out -> out.write(new byte[4])).close();
+        // Touch "a" so "b" becomes the eldest entry
+        cache.get("a", out -> fail("should be cached")).close();
+
+        cache.get("c", out -> out.write(new byte[4])).close();
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertTrue(Files.exists(a));
+        assertEquals(8, cache.size());
+    }
+
+    @Test
+    void getKeepsPinnedEntriesUntilTheirHandleIsClosed() throws Exception {
+        LocalBlobCache cache = new LocalBlobCache(tempDir, 4);
+        LocalBlob a = cache.get("a", out -> out.write(new byte[4]));
+
+        // "a" is the eldest entry but still in use, so it must survive the load of "b"
+        cache.get("b", out -> out.write(new byte[4])).close();
+        assertTrue(Files.exists(a.path()));
+        assertTrue(cache.contains("a"));
+
+        a.close();
+        cache.get("c", out -> out.write(new byte[4])).close();
+        assertFalse(cache.contains("a"));
+        assertFalse(Files.exists(a.path()));
+    }
+
+    @Test
+    void getNeverDeletesFilesHandedToConcurrentReaders() throws Exception {
+        // Room for two entries while eight threads read ten keys
+        LocalBlobCache cache = new LocalBlobCache(tempDir, 2 * 64);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long seed = t;
+                readers.add(pool.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 200; i++) {
+                        String key = "key-" + random.nextInt(10);
+                        try (LocalBlob blob = cache.get(key, out -> out.write(new byte[64]))) {
+                            assertEquals(64, Files.readAllBytes(blob.path()).length);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Once every handle is closed the cache is back within its limit
+        cache.get("last", out -> out.write(new byte[64])).close();
+        assertTrue(cache.size() <= 2 * 64);
+    }
+
+    @Test
+    void getDoesNotCacheFailedLoads() throws Exception {
+        LocalBlobCache cache = new LocalBlobCache(tempDir, 1024);
+
+        assertThrows(IOException.class, () -> cache.get("a", out -> {
+            out.write(1);
+            throw new IOException("connection reset");
+        }));
+
+        assertFalse(cache.contains("a"));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
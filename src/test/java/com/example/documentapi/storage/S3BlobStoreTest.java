@@ -0,0 +1,239 @@
+package com.example.documentapi.storage;
+
+import com.example.documentapi.utils.ExtractionInterruptedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3BlobStoreTest {
+
+    private static final int CHUNK_BYTES = 8;
+
+    @Mock
+    private S3Client client;
+
+    private Path tempDir;
+
+    private S3BlobStore store;
+
+    // Range headers of every GET, in call order
+    private final List<String> ranges = new ArrayList<>();
+
+    // If-Match headers of every GET, in call order
+    private final List<String> ifMatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("s3-blob-store-test");
+        store = new S3BlobStore(client, "documents", new LocalBlobCache(tempDir, 1024), CHUNK_BYTES);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (tempDir != null && Files.exists(tempDir)) {
+            Files.walk(tempDir)
+                    .sorted((a, b) -> b.compareTo(a))
+                    .forEach(p -> {
+                        try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+                    });
+        }
+    }
+
+    @Test
+    void openFetchesMultiChunkObjectWithRangedReads() throws Exception {
+        byte[] content = content(20);
+        stubObject("a.pdf", "etag-1", content);
+
+        try (LocalBlob blob = store.open("a.pdf")) {
+            assertArrayEquals(content, Files.readAllBytes(blob.path()));
+        }
+        // The last chunk is partial
+        assertEquals(List.of("bytes=0-7", "bytes=8-15", "bytes=16-19"), ranges);
+        // Every range is pinned to the version seen by HEAD
+        assertEquals(List.of("etag-1", "etag-1", "etag-1"), ifMatches);
+    }
+
+    @Test
+    void openResumesFailedRangeFromLastByteReceived() throws Exception {
+        byte[] content = content(16);
+        stubObject("a.pdf", "etag-1", content);
+        // The first GET drops the connection after 3 bytes
+        doAnswer(invocation -> {
+            ranges.add(((GetObjectRequest) invocation.getArgument(0)).range());
+            return response(new FailingInputStream(Arrays.copyOfRange(content, 0, 3)));
+        }).doAnswer(invocation -> slice(invocation.getArgument(0), content))
+                .when(client).getObject(any(GetObjectRequest.class));
+
+        try (LocalBlob blob = store.open("a.pdf")) {
+            assertArrayEquals(content, Files.readAllBytes(blob.path()));
+        }
+        assertEquals(List.of("bytes=0-7", "bytes=3-7", "bytes=8-15"), ranges);
+    }
+
+    @Test
+    void openFailsAfterRepeatedRangeFailures() {
+        stubObject("a.pdf", "etag-1", content(16));
+        doAnswer(invocation -> response(new FailingInputStream(new byte[0])))
+                .when(client).getObject(any(GetObjectRequest.class));
+
+        assertThrows(IOException.class, () -> store.open("a.pdf"));
+        verify(client, times(3)).getObject(any(GetObjectRequest.class));
+        // The partial download is not cached
+        assertThrows(IOException.class, () -> store.open("a.pdf"));
+    }
+
+    @Test
+    void openStopsBeforeNextRangeWhenInterrupted() {
+        byte[] content = content(16);
+        stubObject("a.pdf", "etag-1", content);
+        // Shutdown interrupts the thread while the first range is being read
+        doAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            return slice(invocation.getArgument(0), content);
+        }).when(client).getObject(any(GetObjectRequest.class));
+
+        try {
+            assertThrows(ExtractionInterruptedException.class, () -> store.open("a.pdf"));
+            assertEquals(List.of("bytes=0-7"), ranges);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void openFailsWithoutRetryWhenObjectChangesDuringDownload() {
+        stubObject("a.pdf", "etag-1", content(16));
+        doThrow(S3Exception.builder().statusCode(412).message("Precondition Failed").build())
+                .when(client).getObject(any(GetObjectRequest.class));
+
+        IOException ex = assertThrows(IOException.class, () -> store.open("a.pdf"));
+        assertTrue(ex.getMessage().contains("changed during download"));
+        verify(client, times(1)).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    void openFetchesExactMultipleOfChunkSizeWithoutEmptyRange() throws Exception {
+        byte[] content = content(16);
+        stubObject("a.pdf", "etag-1", content);
+
+        try (LocalBlob blob = store.open("a.pdf")) {
+            assertArrayEquals(content, Files.readAllBytes(blob.path()));
+        }
+        assertEquals(List.of("bytes=0-7", "bytes=8-15"), ranges);
+    }
+
+    @Test
+    void openFetchesEmptyObjectWithoutGet() throws Exception {
+        stubObject("empty.pdf", "etag-1", new byte[0]);
+
+        try (LocalBlob blob = store.open("empty.pdf")) {
+            assertEquals(0, Files.size(blob.path()));
+        }
+        verify(client, never()).getObject(any(GetObjectRequest.class));
+    }
+
+    @Test
+    void openServesSameEtagFromCacheAndRefetchesChangedObject() throws Exception {
+        stubObject("a.pdf", "etag-1", content(4));
+        store.open("a.pdf").close();
+        store.open("a.pdf").close();
+        assertEquals(1, ranges.size());
+
+        // Re-uploaded under the same key
+        byte[] updated = {9, 9, 9, 9};
+        stubObject("a.pdf", "etag-2", updated);
+        try (LocalBlob blob = store.open("a.pdf")) {
+            assertArrayEquals(updated, Files.readAllBytes(blob.path()));
+        }
+        assertEquals(2, ranges.size());
+    }
+
+    @Test
+    void openMissingKeyThrowsNoSuchFileException() {
+        when(client.headObject(any(HeadObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("missing").build());
+
+        assertThrows(NoSuchFileException.class, () -> store.open("missing.pdf"));
+        verify(client, never()).getObject(any(GetObjectRequest.class));
+    }
+
+    private void stubObject(String key, String eTag, byte[] content) {
+        when(client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .contentLength((long) content.length)
+                .eTag(eTag)
+                .build());
+        lenient().when(client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            GetObjectRequest request = invocation.getArgument(0);
+            assertEquals(key, request.key());
+            return slice(request, content);
+        });
+    }
+
+    private ResponseInputStream<GetObjectResponse> slice(GetObjectRequest request, byte[] content) {
+        ranges.add(request.range());
+        ifMatches.add(request.ifMatch());
+        String[] bounds = request.range().substring("bytes=".length()).split("-");
+        return response(new ByteArrayInputStream(
+                Arrays.copyOfRange(content, Integer.parseInt(bounds[0]), Integer.parseInt(bounds[1]) + 1)));
+    }
+
+    private static ResponseInputStream<GetObjectResponse> response(InputStream in) {
+        return new ResponseInputStream<>(GetObjectResponse.builder().build(), AbortableInputStream.create(in));
+    }
+
+    /**
+     * Returns the given bytes, then fails like a dropped connection.
+     */
+    private static class FailingInputStream extends InputStream {
+
+        private final ByteArrayInputStream bytes;
+
+        FailingInputStream(byte[] bytes) {
+            this.bytes = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = bytes.read();
+            if (b == -1) {
+                throw new IOException("Connection reset");
+            }
+            return b;
+        }
+    }
+
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+}
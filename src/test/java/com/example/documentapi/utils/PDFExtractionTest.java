@@ -0,0 +1,150 @@
+package com.example.documentapi.utils;
+
+import com.example.documentapi.storage.LocalBlobStore;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PDFExtractionTest {
+
+    private Path tempDir;
+
+    private PDFExtraction extraction;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("pdf-extraction-test");
+        extraction = new PDFExtraction(new LocalBlobStore(tempDir));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (tempDir != null && Files.exists(tempDir)) {
+            Files.walk(tempDir)
+                    .sorted((a, b) -> b.compareTo(a))
+                    .forEach(p -> {
+                        try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+                    });
+        }
+    }
+
+    @Test
+    void extractReturnsPageTextsAndDocumentInfo() throws Exception {
+        Path pdf = tempDir.resolve("two-pages.pdf");
+        try (PDDocument doc = new PDDocument()) {
+            addPage(doc, "First page");
+            addPage(doc, "Second page");
+            doc.getDocumentInformation().setTitle("Quarterly report");
+            doc.getDocumentInformation().setAuthor("Finance");
+            doc.getDocumentCatalog().setLanguage("en-US");
+            doc.save(pdf.toFile());
+        }
+
+        PDFExtractionResult result = extraction.extract("two-pages.pdf", List.of(), (pageNumber, text) -> {});
+
+        assertEquals(2, result.getPageCount());
+        assertEquals(2, result.getPageTexts().size());
+        assertTrue(result.getPageTexts().get(0).contains("First page"));
+        assertTrue(result.getPageTexts().get(1).contains("Second page"));
+        assertEquals("Quarterly report", result.getTitle());
+        assertEquals("Finance", result.getAuthor());
+        assertEquals("en-US", result.getLanguage());
+        assertTrue(result.hasTextLayer());
+
+        // Joined page texts match a plain full-document strip
+        try (PDDocument doc = PDDocument.load(pdf.toFile())) {
+            assertEquals(new PDFTextStripper().getText(doc), result.getText());
+        }
+        assertEquals(result.getText().length(), result.getCharCount());
+    }
+
+    @Test
+    void extractReportsMissingTextLayer() throws Exception {
+        Path pdf = tempDir.resolve("blank.pdf");
+        try (PDDocument doc = new PDDocument()) {
+            doc.addPage(new PDPage());
+            doc.save(pdf.toFile());
+        }
+
+        PDFExtractionResult result = extraction.extract("blank.pdf", List.of(), (pageNumber, text) -> {});
+
+        assertEquals(1, result.getPageCount());
+        assertFalse(result.hasTextLayer());
+    }
+
+    @Test
+    void extractResumesAfterCheckpointedPages() throws Exception {
+        Path pdf = tempDir.resolve("three-pages.pdf");
+        try (PDDocument doc = new PDDocument()) {
+            addPage(doc, "Page one");
+            addPage(doc, "Page two");
+            addPage(doc, "Page three");
+            doc.save(pdf.toFile());
+        }
+        List<Integer> extracted = new ArrayList<>();
+
+        PDFExtractionResult result = extraction.extract("three-pages.pdf",
+                List.of("saved one\n", "saved two\n"),
+                (pageNumber, text) -> extracted.add(pageNumber));
+
+        // Only the missing page is parsed, the checkpointed texts are reused
+        assertEquals(List.of(3), extracted);
+        assertEquals(3, result.getPageTexts().size());
+        assertEquals("saved one\n", result.getPageTexts().get(0));
+        assertTrue(result.getPageTexts().get(2).contains("Page three"));
+    }
+
+    @Test
+    void extractStopsAtPageBoundaryWhenInterrupted() throws Exception {
+        Path pdf = tempDir.resolve("two-pages.pdf");
+        try (PDDocument doc = new PDDocument()) {
+            addPage(doc, "First page");
+            addPage(doc, "Second page");
+            doc.save(pdf.toFile());
+        }
+        List<Integer> extracted = new ArrayList<>();
+        List<Boolean> interruptedDuringCheckpoint = new ArrayList<>();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ExtractionInterruptedException.class, () -> extraction.extract("two-pages.pdf", List.of(),
+                    (pageNumber, text) -> {
+                        extracted.add(pageNumber);
+                        interruptedDuringCheckpoint.add(Thread.currentThread().isInterrupted());
+                    }));
+            // The flag is restored for the caller
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+
+        // The first page is still checkpointed, with the flag cleared so the save is not aborted
+        assertEquals(List.of(1), extracted);
+        assertEquals(List.of(false), interruptedDuringCheckpoint);
+    }
+
+    private static void addPage(PDDocument doc, String text) throws IOException {
+        PDPage page = new PDPage();
+        doc.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+            content.beginText();
+            content.setFont(PDType1Font.HELVETICA, 12);
+            content.newLineAtOffset(72, 700);
+            content.showText(text);
+            content.endText();
+        }
+    }
+}
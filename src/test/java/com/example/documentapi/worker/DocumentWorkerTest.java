@@ -0,0 +1,189 @@
+package com.example.documentapi.worker;
+
+import com.example.documentapi.model.Document;
+import com.example.documentapi.model.DocumentStatus;
+import com.example.documentapi.repository.DocumentRepository;
+import com.example.documentapi.service.DocumentProcessingService;
+import com.example.documentapi.service.DocumentStatusUpdater;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentWorkerTest {
+
+    @Mock
+    private DocumentProcessingService processingService;
+
+    @Mock
+    private DocumentRepository repository;
+
+    @Mock
+    private DocumentStatusUpdater statusUpdater;
+
+    private final DocumentJobQueue jobQueue = new DocumentJobQueue();
+
+    private DocumentWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new DocumentWorker(processingService, jobQueue, processingService, repository, statusUpdater);
+    }
+
+    @Test
+    void recoverReleasesExpiredLeasesAndQueuesUploadedDocuments() throws Exception {
+        ReflectionTestUtils.setField(worker, "processingLeaseSeconds", 1800L);
+        Document stale = document(DocumentStatus.PROCESSING, 3L);
+        Document uploaded = document(DocumentStatus.UPLOADED, 0L);
+        when(repository.findByStatusAndProcessingStartedAtBefore(eq(DocumentStatus.PROCESSING), any()))
+                .thenReturn(List.of(stale));
+        // The release commits before the UPLOADED documents are read
+        when(repository.findByStatus(DocumentStatus.UPLOADED)).thenReturn(List.of(uploaded, stale));
+
+        OffsetDateTime before = OffsetDateTime.now();
+        worker.recover();
+
+        ArgumentCaptor<OffsetDateTime> leaseExpiry = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(repository).findByStatusAndProcessingStartedAtBefore(eq(DocumentStatus.PROCESSING), leaseExpiry.capture());
+        assertFalse(leaseExpiry.getValue().isBefore(before.minusSeconds(1800)));
+        assertTrue(leaseExpiry.getValue().isBefore(before.minusSeconds(1790)));
+        verify(statusUpdater).release(stale.getId(), 3L);
+        assertEquals(uploaded.getId(), jobQueue.take());
+        assertEquals(stale.getId(), jobQueue.take());
+    }
+
+    @Test
+    void recoverDoesNotQueueDocumentsTwice() throws Exception {
+        Document first = document(DocumentStatus.UPLOADED, 0L);
+        Document second = document(DocumentStatus.UPLOADED, 0L);
+        when(repository.findByStatus(DocumentStatus.UPLOADED)).thenReturn(List.of(first, second));
+
+        worker.recover();
+        worker.recover();
+        UUID next = UUID.randomUUID();
+        jobQueue.enqueue(next);
+
+        assertEquals(first.getId(), jobQueue.take());
+        assertEquals(second.getId(), jobQueue.take());
+        assertEquals(next, jobQueue.take());
+        verifyNoInteractions(statusUpdater);
+    }
+
+    @Test
+    void startRunsRecoverySweepPeriodically() {
+        ReflectionTestUtils.setField(worker, "recoveryIntervalSeconds", 1L);
+        Document uploaded = document(DocumentStatus.UPLOADED, 0L);
+        // Uploaded after startup, and the first scheduled sweep fails
+        when(repository.findByStatus(DocumentStatus.UPLOADED))
+                .thenReturn(List.of())
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of(uploaded));
+
+        worker.start();
+        try {
+            verify(processingService, timeout(5000)).process(uploaded.getId());
+        } finally {
+            worker.stop();
+        }
+    }
+
+    @Test
+    void stopLeavesQueuedDocumentsUnclaimed() {
+        jobQueue.enqueue(UUID.randomUUID());
+        jobQueue.enqueue(UUID.randomUUID());
+
+        worker.stop();
+
+        // Still UPLOADED, the next recovery sweep queues them again
+        verifyNoInteractions(processingService, statusUpdater);
+    }
+
+    @Test
+    void stopLetsInFlightJobsFinishWithinDeadline() throws Exception {
+        ReflectionTestUtils.setField(worker, "shutdownTimeoutSeconds", 5L);
+        when(repository.findByStatus(any())).thenReturn(List.of());
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            Thread.sleep(200);
+            return null;
+        }).when(processingService).process(any());
+        UUID id = UUID.randomUUID();
+
+        worker.start();
+        jobQueue.enqueue(id);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        worker.stop();
+
+        verify(processingService).process(id);
+        verifyNoMoreInteractions(processingService);
+    }
+
+    @Test
+    void stopInterruptsRunningJobsAndDropsUnstartedOnes() throws Exception {
+        ReflectionTestUtils.setField(worker, "shutdownTimeoutSeconds", 0L);
+        when(repository.findByStatus(any())).thenReturn(List.of());
+        CountDownLatch started = new CountDownLatch(4);
+        List<UUID> interrupted = new ArrayList<>();
+        doAnswer(invocation -> {
+            started.countDown();
+            try {
+                // Block like a long extraction until the pool interrupts the job
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                synchronized (interrupted) {
+                    interrupted.add(invocation.getArgument(0));
+                }
+            }
+            return null;
+        }).when(processingService).process(any());
+
+        worker.start();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(UUID.randomUUID());
+            jobQueue.enqueue(ids.get(i));
+        }
+        // Four pool threads are busy, the fifth job waits in the pool
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        @SuppressWarnings("unchecked")
+        Set<UUID> waiting = (Set<UUID>) ReflectionTestUtils.getField(worker, "waiting");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (waiting.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        worker.stop();
+
+        synchronized (interrupted) {
+            assertEquals(Set.copyOf(ids.subList(0, 4)), Set.copyOf(interrupted));
+        }
+        verify(processingService, never()).process(ids.get(4));
+    }
+
+    private static Document document(DocumentStatus status, Long version) {
+        Document doc = new Document();
+        doc.setId(UUID.randomUUID());
+        doc.setStatus(status);
+        doc.setVersion(version);
+        return doc;
+    }
+}